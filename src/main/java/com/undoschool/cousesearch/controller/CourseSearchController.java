@@ -1,14 +1,17 @@
 package com.undoschool.cousesearch.controller;
 
 import com.undoschool.cousesearch.document.CourseDocument;
+import com.undoschool.cousesearch.dto.CountResponseDto;
 import com.undoschool.cousesearch.dto.SearchRequestDto;
 import com.undoschool.cousesearch.dto.SearchResponseDto;
 import com.undoschool.cousesearch.service.CourseSearchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -34,10 +37,16 @@ public class CourseSearchController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false, defaultValue = "upcoming") String sort,
             @RequestParam(required = false, defaultValue = "0") Integer page,
-            @RequestParam(required = false, defaultValue = "10") Integer size
+            @RequestParam(required = false, defaultValue = "10") Integer size,
+            @RequestParam(required = false, defaultValue = "DEFAULT") SearchRequestDto.TotalsMode totals,
+            @RequestParam(required = false, defaultValue = "10000") Integer totalsThreshold
     ) {
-        log.info("Received search request - q: {}, minAge: {}, maxAge: {}, category: {}, type: {}, minPrice: {}, maxPrice: {}, startDate: {}, sort: {}, page: {}, size: {}",
-                q, minAge, maxAge, category, type, minPrice, maxPrice, startDate, sort, page, size);
+        log.info("Received search request - q: {}, minAge: {}, maxAge: {}, category: {}, type: {}, minPrice: {}, maxPrice: {}, startDate: {}, sort: {}, page: {}, size: {}, totals: {}, totalsThreshold: {}",
+                q, minAge, maxAge, category, type, minPrice, maxPrice, startDate, sort, page, size, totals, totalsThreshold);
+
+        if (totals == SearchRequestDto.TotalsMode.APPROXIMATE && totalsThreshold < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "totalsThreshold must be at least 1");
+        }
 
         SearchRequestDto request = SearchRequestDto.builder()
                 .q(q)
@@ -51,6 +60,8 @@ public class CourseSearchController {
                 .sort(sort)
                 .page(page)
                 .size(size)
+                .totals(totals)
+                .totalsThreshold(totalsThreshold)
                 .build();
 
         SearchResponseDto response = courseSearchService.searchCourses(request);
@@ -58,6 +69,36 @@ public class CourseSearchController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/count")
+    public ResponseEntity<CountResponseDto> countCourses(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) CourseDocument.CourseType type,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate
+    ) {
+        log.info("Received count request - q: {}, minAge: {}, maxAge: {}, category: {}, type: {}, minPrice: {}, maxPrice: {}, startDate: {}",
+                q, minAge, maxAge, category, type, minPrice, maxPrice, startDate);
+
+        SearchRequestDto request = SearchRequestDto.builder()
+                .q(q)
+                .minAge(minAge)
+                .maxAge(maxAge)
+                .category(category)
+                .type(type)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .startDate(startDate)
+                .build();
+
+        long count = courseSearchService.countCourses(request);
+
+        return ResponseEntity.ok(CountResponseDto.builder().count(count).build());
+    }
+
     // Assignment B - Autocomplete endpoint
     @GetMapping("/suggest")
     public ResponseEntity<List<String>> getAutocompleteSuggestions(
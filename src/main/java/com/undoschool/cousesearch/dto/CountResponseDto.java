@@ -0,0 +1,14 @@
+package com.undoschool.cousesearch.dto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CountResponseDto {
+
+    private Long count;
+}
\ No newline at end of file
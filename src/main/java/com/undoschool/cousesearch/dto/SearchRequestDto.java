@@ -13,6 +13,17 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class SearchRequestDto {
 
+    public enum TotalsMode {
+        // Leave track_total_hits unset: exact up to Elasticsearch's default of 10,000, then a lower bound
+        DEFAULT,
+        // Exact hit count, however large
+        EXACT,
+        // Count accurately up to totalsThreshold, then report a lower bound
+        APPROXIMATE,
+        // Skip hit counting entirely
+        NONE
+    }
+
     private String q;
     private Integer minAge;
     private Integer maxAge;
@@ -28,4 +39,10 @@ public class SearchRequestDto {
 
     @Builder.Default
     private Integer size = 10;
+
+    @Builder.Default
+    private TotalsMode totals = TotalsMode.DEFAULT;
+
+    @Builder.Default
+    private Integer totalsThreshold = 10000;
 }
\ No newline at end of file
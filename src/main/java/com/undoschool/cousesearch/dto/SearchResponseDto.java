@@ -13,9 +13,19 @@ import java.util.List;
 @AllArgsConstructor
 public class SearchResponseDto {
 
+    public enum TotalRelation {
+        // total is the exact hit count
+        EQUAL_TO,
+        // total is a lower bound
+        GREATER_THAN_OR_EQUAL_TO
+    }
+
+    // Null when totals=NONE
     private Long total;
+    private TotalRelation totalRelation;
     private List<CourseDocument> courses;
     private Integer page;
     private Integer size;
+    // Null when totals=NONE or when total is only a lower bound
     private Integer totalPages;
 }
\ No newline at end of file
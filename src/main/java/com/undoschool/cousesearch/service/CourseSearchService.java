@@ -13,8 +13,10 @@ import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
 import org.springframework.stereotype.Service;
 
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch._types.query_dsl.RangeQuery;
@@ -23,6 +25,7 @@ import co.elastic.clients.elasticsearch._types.query_dsl.MultiMatchQuery;
 import co.elastic.clients.json.JsonData;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -34,6 +37,7 @@ import java.util.stream.Collectors;
 public class CourseSearchService {
 
     private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
 
     public SearchResponseDto searchCourses(SearchRequestDto request) {
         log.info("Searching courses with request: {}", request);
@@ -51,6 +55,9 @@ public class CourseSearchService {
         Pageable pageable = PageRequest.of(request.getPage(), request.getSize());
         queryBuilder.withPageable(pageable);
 
+        // Hit counting
+        addTotalsTracking(queryBuilder, request);
+
         NativeQuery nativeQuery = queryBuilder.build();
 
         SearchHits<CourseDocument> searchHits = elasticsearchOperations.search(nativeQuery, CourseDocument.class);
@@ -59,15 +66,57 @@ public class CourseSearchService {
                 .map(SearchHit::getContent)
                 .collect(Collectors.toList());
 
-        int totalPages = (int) Math.ceil((double) searchHits.getTotalHits() / request.getSize());
-
-        return SearchResponseDto.builder()
-                .total(searchHits.getTotalHits())
+        SearchResponseDto.SearchResponseDtoBuilder response = SearchResponseDto.builder()
                 .courses(courses)
                 .page(request.getPage())
-                .size(request.getSize())
-                .totalPages(totalPages)
-                .build();
+                .size(request.getSize());
+
+        if (searchHits.getTotalHitsRelation() == TotalHitsRelation.GREATER_THAN_OR_EQUAL_TO) {
+            // A lower bound cannot give a reliable last page, so totalPages is left out
+            response.total(searchHits.getTotalHits())
+                    .totalRelation(SearchResponseDto.TotalRelation.GREATER_THAN_OR_EQUAL_TO);
+        } else if (searchHits.getTotalHitsRelation() != TotalHitsRelation.OFF) {
+            int totalPages = (int) Math.ceil((double) searchHits.getTotalHits() / request.getSize());
+            response.total(searchHits.getTotalHits())
+                    .totalRelation(SearchResponseDto.TotalRelation.EQUAL_TO)
+                    .totalPages(totalPages);
+        }
+
+        return response.build();
+    }
+
+    public long countCourses(SearchRequestDto request) {
+        log.info("Counting courses with request: {}", request);
+
+        Query query = buildQuery(request);
+        String indexName = elasticsearchOperations.getIndexCoordinatesFor(CourseDocument.class).getIndexName();
+
+        // Use the _count API directly; ElasticsearchOperations.count() issues a size=0 search instead
+        try {
+            return elasticsearchClient.count(c -> c
+                    .index(indexName)
+                    .query(query)
+            ).count();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to count courses", e);
+        }
+    }
+
+    private void addTotalsTracking(NativeQueryBuilder queryBuilder, SearchRequestDto request) {
+        SearchRequestDto.TotalsMode totals = request.getTotals();
+
+        if (totals == SearchRequestDto.TotalsMode.NONE) {
+            queryBuilder.withTrackTotalHits(false);
+        } else if (totals == SearchRequestDto.TotalsMode.APPROXIMATE) {
+            Integer threshold = request.getTotalsThreshold();
+            if (threshold == null || threshold < 1) {
+                throw new IllegalArgumentException("totalsThreshold must be at least 1, got " + threshold);
+            }
+            queryBuilder.withTrackTotalHitsUpTo(threshold);
+        } else if (totals == SearchRequestDto.TotalsMode.EXACT) {
+            queryBuilder.withTrackTotalHits(true);
+        }
+        // DEFAULT (or no mode): leave track_total_hits to Elasticsearch
     }
 
     private Query buildQuery(SearchRequestDto request) {
@@ -0,0 +1,249 @@
+package com.undoschool.cousesearch.service;
+
+import com.undoschool.cousesearch.document.CourseDocument;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.BulkOptions;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Asynchronous write path for course documents.
+ * <p>
+ * Producers enqueue documents into a bounded, lock-free buffer and get back a future per document.
+ * A single drainer thread turns the buffer into bulk requests once either {@code indexing.queue.batch-size}
+ * documents are waiting or {@code indexing.queue.flush-interval-ms} has elapsed. When the buffer is full,
+ * producers wait up to {@code indexing.queue.offer-timeout-ms} and are rejected after that.
+ * <p>
+ * Writes are applied in submission order: batches are sent one at a time, and within a batch only the last
+ * submitted version of each course is indexed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IndexingQueue {
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    @Value("${indexing.queue.capacity:10000}")
+    private int capacity;
+
+    @Value("${indexing.queue.batch-size:500}")
+    private int batchSize;
+
+    @Value("${indexing.queue.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${indexing.queue.offer-timeout-ms:1000}")
+    private long offerTimeoutMs;
+
+    // Multi-producer, single-consumer buffer; the semaphore bounds it and provides backpressure
+    private final ConcurrentLinkedQueue<PendingWrite> buffer = new ConcurrentLinkedQueue<>();
+    private Semaphore slots;
+    private IndexCoordinates indexCoordinates;
+    private Thread drainer;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        slots = new Semaphore(capacity);
+        indexCoordinates = elasticsearchOperations.getIndexCoordinatesFor(CourseDocument.class);
+        running = true;
+        drainer = Thread.ofPlatform()
+                .name("indexing-queue-drainer")
+                .daemon(true)
+                .start(this::drainLoop);
+        log.info("Indexing queue started with capacity {}, batch size {}, flush interval {}ms",
+                capacity, batchSize, flushIntervalMs);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(drainer);
+        drainer.join(TimeUnit.SECONDS.toMillis(30));
+
+        // Anything the drainer did not get to is rejected rather than left pending
+        int rejected = 0;
+        PendingWrite write;
+        while ((write = buffer.poll()) != null) {
+            reject(write);
+            rejected++;
+        }
+        log.info("Indexing queue stopped, {} unflushed writes rejected", rejected);
+    }
+
+    public CompletableFuture<String> submit(CourseDocument document) {
+        return submit(document, false);
+    }
+
+    /**
+     * Enqueues a document for bulk indexing.
+     *
+     * @param waitForRefresh send the document with {@code refresh=wait_for}, so the future only completes
+     *                       once the document is visible to search
+     * @return a future holding the document id, completed exceptionally with a
+     * {@link RejectedExecutionException} if the queue stays full for longer than the offer timeout,
+     * or with an {@link IllegalArgumentException} if the document has no id
+     */
+    public CompletableFuture<String> submit(CourseDocument document, boolean waitForRefresh) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+
+        // Bulk failures are reported by id, so every queued document needs one
+        if (document.getId() == null) {
+            future.completeExceptionally(new IllegalArgumentException("Queued courses must have an id"));
+            return future;
+        }
+
+        if (!running) {
+            future.completeExceptionally(new RejectedExecutionException("Indexing queue is shut down"));
+            return future;
+        }
+
+        try {
+            if (!slots.tryAcquire(offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                future.completeExceptionally(new RejectedExecutionException(
+                        "Indexing queue is full (capacity " + capacity + ")"));
+                return future;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        PendingWrite write = new PendingWrite(document, waitForRefresh, future);
+        buffer.offer(write);
+
+        // stop() may have run since the check above; if nobody has taken the write yet, reject it here
+        if (!running && buffer.remove(write)) {
+            reject(write);
+            return future;
+        }
+
+        // Wake the drainer early once a full batch is waiting
+        if (queuedAndInFlightCount() >= batchSize) {
+            LockSupport.unpark(drainer);
+        }
+        return future;
+    }
+
+    public List<CompletableFuture<String>> submitAll(List<CourseDocument> documents) {
+        return documents.stream()
+                .map(this::submit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Number of writes holding a queue slot. Slots are freed only when their bulk request returns,
+     * so this includes the batch currently being sent, not just writes still waiting in the buffer.
+     */
+    public int queuedAndInFlightCount() {
+        return capacity - slots.availablePermits();
+    }
+
+    private void reject(PendingWrite write) {
+        write.future().completeExceptionally(new RejectedExecutionException("Indexing queue is shut down"));
+        slots.release();
+    }
+
+    private void drainLoop() {
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        long lastFlush = System.nanoTime();
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+
+        while (running || !buffer.isEmpty()) {
+            long elapsed = System.nanoTime() - lastFlush;
+            if (running && queuedAndInFlightCount() < batchSize && elapsed < flushIntervalNanos) {
+                LockSupport.parkNanos(this, flushIntervalNanos - elapsed);
+                continue;
+            }
+
+            PendingWrite write;
+            while (batch.size() < batchSize && (write = buffer.poll()) != null) {
+                batch.add(write);
+            }
+
+            if (!batch.isEmpty()) {
+                try {
+                    flush(batch);
+                } finally {
+                    // Slots are only freed once the bulk request returns, so a slow cluster pushes back on producers
+                    slots.release(batch.size());
+                    batch.clear();
+                }
+            }
+            lastFlush = System.nanoTime();
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        // One bulk item per id, carrying the last submitted version, so writes to the same course within a batch
+        // keep last-write-wins and a single bulk result settles every future for that id
+        Map<String, List<PendingWrite>> writesById = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            writesById.computeIfAbsent(write.document().getId(), id -> new ArrayList<>()).add(write);
+        }
+
+        // The whole batch waits for a refresh if any write asked for one, rather than splitting and reordering it
+        RefreshPolicy refreshPolicy = batch.stream().anyMatch(PendingWrite::waitForRefresh)
+                ? RefreshPolicy.WAIT_UNTIL
+                : RefreshPolicy.NONE;
+
+        List<IndexQuery> queries = writesById.values().stream()
+                .map(writes -> writes.get(writes.size() - 1).document())
+                .map(document -> new IndexQueryBuilder()
+                        .withId(document.getId())
+                        .withObject(document)
+                        .build())
+                .collect(Collectors.toList());
+
+        BulkOptions bulkOptions = BulkOptions.builder()
+                .withRefreshPolicy(refreshPolicy)
+                .build();
+
+        try {
+            elasticsearchOperations.bulkIndex(queries, bulkOptions, indexCoordinates);
+            writesById.forEach((id, writes) -> writes.forEach(w -> w.future().complete(id)));
+            log.debug("Bulk indexed {} courses from {} writes (refresh={})",
+                    queries.size(), batch.size(), refreshPolicy);
+        } catch (BulkFailureException e) {
+            Set<String> failedIds = e.getFailedDocuments().keySet();
+            log.warn("Bulk indexing failed for {} of {} courses", failedIds.size(), queries.size());
+            writesById.forEach((id, writes) -> writes.forEach(w -> {
+                if (failedIds.contains(id)) {
+                    w.future().completeExceptionally(e);
+                } else {
+                    w.future().complete(id);
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.error("Bulk indexing request for {} courses failed", queries.size(), e);
+            batch.forEach(w -> w.future().completeExceptionally(e));
+        }
+    }
+
+    private record PendingWrite(CourseDocument document, boolean waitForRefresh, CompletableFuture<String> future) {
+    }
+}
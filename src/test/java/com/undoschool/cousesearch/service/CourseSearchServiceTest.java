@@ -180,6 +180,65 @@ class CourseSearchServiceTest {
         assertEquals("Math Basics", response.getCourses().get(0).getTitle()); // Higher price first
     }
 
+    @Test
+    void testSearchWithoutTotals() {
+        SearchRequestDto request = SearchRequestDto.builder()
+                .totals(SearchRequestDto.TotalsMode.NONE)
+                .build();
+
+        SearchResponseDto response = courseSearchService.searchCourses(request);
+
+        assertNull(response.getTotal());
+        assertNull(response.getTotalPages());
+        assertEquals(2, response.getCourses().size());
+    }
+
+    @Test
+    void testSearchWithApproximateTotals() {
+        SearchRequestDto request = SearchRequestDto.builder()
+                .totals(SearchRequestDto.TotalsMode.APPROXIMATE)
+                .totalsThreshold(1)
+                .build();
+
+        SearchResponseDto response = courseSearchService.searchCourses(request);
+
+        assertEquals(1, response.getTotal());
+        assertEquals(SearchResponseDto.TotalRelation.GREATER_THAN_OR_EQUAL_TO, response.getTotalRelation());
+        assertNull(response.getTotalPages());
+    }
+
+    @Test
+    void testSearchWithExactTotals() {
+        SearchRequestDto request = SearchRequestDto.builder()
+                .totals(SearchRequestDto.TotalsMode.EXACT)
+                .build();
+
+        SearchResponseDto response = courseSearchService.searchCourses(request);
+
+        assertEquals(2, response.getTotal());
+        assertEquals(SearchResponseDto.TotalRelation.EQUAL_TO, response.getTotalRelation());
+    }
+
+    @Test
+    void testApproximateTotalsRejectsInvalidThreshold() {
+        SearchRequestDto request = SearchRequestDto.builder()
+                .totals(SearchRequestDto.TotalsMode.APPROXIMATE)
+                .totalsThreshold(0)
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> courseSearchService.searchCourses(request));
+    }
+
+    @Test
+    void testCountWithCategoryFilter() {
+        SearchRequestDto request = SearchRequestDto.builder()
+                .category("Science")
+                .build();
+
+        assertEquals(1, courseSearchService.countCourses(request));
+        assertEquals(2, courseSearchService.countCourses(SearchRequestDto.builder().build()));
+    }
+
     @Test
     void testFuzzySearch() {
         SearchRequestDto request = SearchRequestDto.builder()
@@ -0,0 +1,110 @@
+package com.undoschool.cousesearch.service;
+
+import com.undoschool.cousesearch.document.CourseDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.BulkOptions;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IndexingQueueBackpressureTest {
+
+    private static final long OFFER_TIMEOUT_MS = 200;
+
+    private final CountDownLatch clusterStalled = new CountDownLatch(1);
+
+    private IndexingQueue indexingQueue;
+
+    @BeforeEach
+    void setUp() {
+        ElasticsearchOperations elasticsearchOperations = mock(ElasticsearchOperations.class);
+        when(elasticsearchOperations.getIndexCoordinatesFor(CourseDocument.class))
+                .thenReturn(IndexCoordinates.of("courses"));
+
+        // Bulk requests hang until the test releases them, then fail
+        when(elasticsearchOperations.bulkIndex(anyList(), any(BulkOptions.class), any(IndexCoordinates.class)))
+                .thenAnswer(invocation -> {
+                    clusterStalled.await(10, TimeUnit.SECONDS);
+                    throw new IllegalStateException("cluster unavailable");
+                });
+
+        indexingQueue = new IndexingQueue(elasticsearchOperations);
+        ReflectionTestUtils.setField(indexingQueue, "capacity", 2);
+        ReflectionTestUtils.setField(indexingQueue, "batchSize", 1);
+        ReflectionTestUtils.setField(indexingQueue, "flushIntervalMs", 10L);
+        ReflectionTestUtils.setField(indexingQueue, "offerTimeoutMs", OFFER_TIMEOUT_MS);
+        indexingQueue.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        clusterStalled.countDown();
+        indexingQueue.stop();
+    }
+
+    private CourseDocument course(String id) {
+        return CourseDocument.builder()
+                .id(id)
+                .title("Course " + id)
+                .build();
+    }
+
+    @Test
+    void testSubmitIsRejectedAfterOfferTimeoutWhenFull() {
+        CompletableFuture<String> first = indexingQueue.submit(course("1"));
+        CompletableFuture<String> second = indexingQueue.submit(course("2"));
+        assertEquals(2, indexingQueue.queuedAndInFlightCount());
+
+        long startNanos = System.nanoTime();
+        CompletableFuture<String> third = indexingQueue.submit(course("3"));
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        // The producer was held back for the offer timeout, then rejected
+        assertTrue(waitedMs >= OFFER_TIMEOUT_MS - 20, "waited only " + waitedMs + "ms");
+        ExecutionException thrown = assertThrows(ExecutionException.class, third::get);
+        assertInstanceOf(RejectedExecutionException.class, thrown.getCause());
+
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+    }
+
+    @Test
+    void testFailedBulkCompletesFuturesExceptionally() {
+        CompletableFuture<String> write = indexingQueue.submit(course("1"));
+        clusterStalled.countDown();
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> write.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+    }
+
+    @Test
+    void testSubmitAfterStopIsRejected() throws InterruptedException {
+        clusterStalled.countDown();
+        indexingQueue.stop();
+
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> indexingQueue.submit(course("1")).get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, thrown.getCause());
+    }
+
+    @Test
+    void testSubmitWithoutIdIsRejected() {
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> indexingQueue.submit(course(null)).get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, thrown.getCause());
+    }
+}
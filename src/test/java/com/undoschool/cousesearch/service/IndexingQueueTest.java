@@ -0,0 +1,122 @@
+package com.undoschool.cousesearch.service;
+
+import com.undoschool.cousesearch.document.CourseDocument;
+import com.undoschool.cousesearch.repository.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Testcontainers
+class IndexingQueueTest {
+
+    @Container
+    static ElasticsearchContainer elasticsearchContainer =
+            new ElasticsearchContainer("docker.elastic.co/elasticsearch/elasticsearch:8.11.0")
+                    .withEnv("discovery.type", "single-node")
+                    .withEnv("xpack.security.enabled", "false")
+                    .withEnv("ES_JAVA_OPTS", "-Xms512m -Xmx512m");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.elasticsearch.uris", elasticsearchContainer::getHttpHostAddress);
+        registry.add("indexing.queue.batch-size", () -> "10");
+    }
+
+    @Autowired
+    private IndexingQueue indexingQueue;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @BeforeEach
+    void setUp() {
+        // Queued writes use refresh=none; make them visible so deleteAll's delete-by-query removes them
+        elasticsearchOperations.indexOps(CourseDocument.class).refresh();
+        courseRepository.deleteAll();
+    }
+
+    private CourseDocument course(String id) {
+        return CourseDocument.builder()
+                .id(id)
+                .title("Course " + id)
+                .description("Queued course " + id)
+                .category("Math")
+                .type(CourseDocument.CourseType.COURSE)
+                .minAge(6)
+                .maxAge(9)
+                .price(50.0)
+                .build();
+    }
+
+    @Test
+    void testSubmitAllCompletesEveryFuture() throws Exception {
+        List<CourseDocument> courses = IntStream.range(0, 25)
+                .mapToObj(i -> course("q" + i))
+                .collect(Collectors.toList());
+
+        List<CompletableFuture<String>> futures = indexingQueue.submitAll(courses);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        assertEquals("q0", futures.get(0).get());
+        assertEquals("q24", futures.get(24).get());
+
+        // Full batches of 10 go out on size, the remainder on the flush interval
+        elasticsearchOperations.indexOps(CourseDocument.class).refresh();
+        assertEquals(25, courseRepository.count());
+    }
+
+    @Test
+    void testPartialBatchIsFlushedOnInterval() throws Exception {
+        // One document is below the batch size of 10, so only the 200ms flush interval sends it
+        String id = indexingQueue.submit(course("lonely")).get(2, TimeUnit.SECONDS);
+
+        assertEquals("lonely", id);
+        elasticsearchOperations.indexOps(CourseDocument.class).refresh();
+        assertTrue(courseRepository.findById("lonely").isPresent());
+    }
+
+    @Test
+    void testLastSubmittedVersionWins() throws Exception {
+        CourseDocument older = course("versioned");
+        older.setTitle("Older version");
+        CourseDocument newer = course("versioned");
+        newer.setTitle("Newer version");
+
+        CompletableFuture<String> olderWrite = indexingQueue.submit(older, true);
+        CompletableFuture<String> newerWrite = indexingQueue.submit(newer, false);
+        CompletableFuture.allOf(olderWrite, newerWrite).get(10, TimeUnit.SECONDS);
+
+        elasticsearchOperations.indexOps(CourseDocument.class).refresh();
+        assertEquals("Newer version", courseRepository.findById("versioned").orElseThrow().getTitle());
+    }
+
+    @Test
+    void testWaitForRefreshMakesDocumentSearchable() throws Exception {
+        String id = indexingQueue.submit(course("visible"), true).get(10, TimeUnit.SECONDS);
+
+        assertEquals("visible", id);
+        assertTrue(courseRepository.findById("visible").isPresent());
+        assertTrue(courseRepository.findByCategory("Math", Pageable.unpaged()).stream()
+                .anyMatch(c -> "visible".equals(c.getId())));
+    }
+}